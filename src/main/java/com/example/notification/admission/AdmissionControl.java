@@ -0,0 +1,229 @@
+package com.example.notification.admission;
+
+import com.example.notification.api.NotificationPriority;
+import com.example.notification.config.AdmissionProperties;
+import com.example.notification.config.RabbitMQConfig;
+import com.example.notification.config.RetryBudgetProperties;
+import com.example.notification.metrics.NotificationMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 소비 적체 기반 발행 허용 판단.
+ *
+ * 큐 적재량과 이 노드의 처리 속도(EWMA)를 주기적으로 갱신해 두고,
+ * 요청 시에는 마지막 스냅샷만 보고 판단한다(요청마다 브로커 조회 X).
+ *
+ * - backlog: 메인 큐 + 채널 재시도 단계 큐. 재시도 예산 소진 시 쓰는 보류(park) 큐는
+ *   TTL 전에는 소진될 수 없으므로 제외하고 게이지로만 따로 노출한다.
+ * - lag: 메인 큐 적재량 / 처리 속도. 처리 속도는 메인 큐가 비어 있지 않고 min-drain-rate 이상일 때만
+ *   실제 소진 능력으로 보고 adaptive 판단에 쓴다(한가할 때의 처리량은 유입량일 뿐이라 0에 가깝게 떨어짐).
+ * 처리 속도는 성공/DLQ/중복/격리처럼 파이프라인을 빠져나간 메시지만 센다. 미뤄지거나 재시도로 돌아오는
+ * 메시지를 세면 포화 시 같은 메시지의 반복 유입이 처리량으로 잡혀 lag와 Retry-After가 과소평가된다.
+ * 처리 속도는 노드 로컬 값이라 컨슈머 노드가 여럿이면 보수적으로(일찍) 차단한다.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final AmqpAdmin amqpAdmin;
+    private final AdmissionProperties props;
+    private final NotificationMetrics metrics;
+    private final List<String> retryQueues = new ArrayList<>();
+    private final String parkQueue;
+
+    private volatile Snapshot snapshot;
+
+    private long lastProcessed;
+    private long lastPollNs;
+    private double drainRate;
+
+    public AdmissionControl(AmqpAdmin amqpAdmin,
+                            @Qualifier("retryTierQueues") Declarables retryTierQueues,
+                            AdmissionProperties props,
+                            RetryBudgetProperties retryBudgetProperties,
+                            NotificationMetrics metrics) {
+        this.amqpAdmin = amqpAdmin;
+        this.props = props;
+        this.metrics = metrics;
+
+        // 채널 재시도 단계와 같은 지연을 쓰면 큐를 공유하므로 보류 큐로 집계됨
+        this.parkQueue = RabbitMQConfig.retryTierQueue(retryBudgetProperties.parkDelayMs());
+        retryQueues.add(RabbitMQConfig.RETRY_QUEUE);
+        retryTierQueues.getDeclarablesByType(Queue.class).stream()
+                .map(Queue::getName)
+                .filter(name -> !name.equals(parkQueue))
+                .forEach(retryQueues::add);
+
+        this.snapshot = new Snapshot(0, 0, 0, 0, AdmissionLevel.NORMAL, 0);
+        this.lastProcessed = metrics.drainedCount();
+        this.lastPollNs = System.nanoTime();
+
+        metrics.registerAdmissionBacklogGauge("main", this, a -> a.snapshot().mainDepth());
+        metrics.registerAdmissionBacklogGauge("retry", this, a -> a.snapshot().retryDepth());
+        metrics.registerAdmissionBacklogGauge("parked", this, a -> a.snapshot().parkedDepth());
+        metrics.registerAdmissionLagGauge(this, a -> a.snapshot().lagSec());
+        metrics.registerAdmissionLevelGauge(this, a -> a.snapshot().level().ordinal());
+    }
+
+    public Decision admit(NotificationPriority priority) {
+        if (!props.enabled()) {
+            return Decision.ADMITTED;
+        }
+
+        Snapshot s = snapshot;
+        boolean shed = switch (s.level()) {
+            case NORMAL -> false;
+            case SOFT -> priority == NotificationPriority.LOW;
+            case HARD -> true;
+        };
+        if (!shed) {
+            return Decision.ADMITTED;
+        }
+
+        metrics.recordShed(priority.name().toLowerCase(), s.level().name().toLowerCase());
+        return new Decision(false, s.retryAfterSec());
+    }
+
+    @Scheduled(fixedDelayString = "${admission.poll-interval-ms:1000}")
+    void refresh() {
+        if (!props.enabled()) {
+            return;
+        }
+
+        long mainDepth;
+        long retryDepth = 0;
+        long parkedDepth;
+        try {
+            mainDepth = depth(RabbitMQConfig.MAIN_QUEUE);
+            for (String queue : retryQueues) {
+                retryDepth += depth(queue);
+            }
+            parkedDepth = depth(parkQueue);
+        } catch (Exception e) {
+            // 브로커 조회 실패 시 직전 스냅샷 유지
+            log.warn("event=admission_refresh_failed error={}", e.getMessage());
+            return;
+        }
+
+        long nowNs = System.nanoTime();
+        long processed = metrics.drainedCount();
+        double intervalSec = (nowNs - lastPollNs) / 1e9;
+        if (intervalSec > 0) {
+            double rate = (processed - lastProcessed) / intervalSec;
+            drainRate = EWMA_ALPHA * rate + (1 - EWMA_ALPHA) * drainRate;
+        }
+        lastProcessed = processed;
+        lastPollNs = nowNs;
+
+        Snapshot next = evaluate(mainDepth, retryDepth, parkedDepth, drainRate, props);
+        if (next.level() != snapshot.level()) {
+            log.warn("event=admission_level_changed from={} to={} mainDepth={} retryDepth={} drainRate={}",
+                    snapshot.level(), next.level(), mainDepth, retryDepth, String.format("%.1f", drainRate));
+        }
+        snapshot = next;
+    }
+
+    /** 적재량 기준과 (adaptive일 때) lag 기준 중 더 높은 차단 단계 */
+    static Snapshot evaluate(long mainDepth, long retryDepth, long parkedDepth, double drainRate,
+                             AdmissionProperties props) {
+        long backlog = mainDepth + retryDepth;
+
+        AdmissionLevel level = AdmissionLevel.NORMAL;
+        double excessSec = 0;
+        if (backlog >= props.hardDepth()) {
+            level = AdmissionLevel.HARD;
+            excessSec = drainSec(backlog - props.hardDepth(), drainRate, props);
+        } else if (backlog >= props.softDepth()) {
+            level = AdmissionLevel.SOFT;
+            excessSec = drainSec(backlog - props.softDepth(), drainRate, props);
+        }
+
+        // 한가할 때의 처리량은 소진 능력이 아니므로 메인 큐가 쌓여 있고 충분히 처리 중일 때만 lag 기준 적용
+        if (props.adaptive() && mainDepth > 0 && drainRate >= props.minDrainRate()) {
+            double lagSec = mainDepth / drainRate;
+            AdmissionLevel lagLevel = AdmissionLevel.NORMAL;
+            double lagExcessSec = 0;
+            if (lagSec >= props.hardLagSec()) {
+                lagLevel = AdmissionLevel.HARD;
+                lagExcessSec = lagSec - props.hardLagSec();
+            } else if (lagSec >= props.softLagSec()) {
+                lagLevel = AdmissionLevel.SOFT;
+                lagExcessSec = lagSec - props.softLagSec();
+            }
+
+            if (lagLevel.compareTo(level) > 0) {
+                level = lagLevel;
+                excessSec = lagExcessSec;
+            } else if (lagLevel == level) {
+                excessSec = Math.max(excessSec, lagExcessSec);
+            }
+        }
+
+        long retryAfterSec = level == AdmissionLevel.NORMAL ? 0 : retryAfterSec(excessSec, props);
+        return new Snapshot(mainDepth, retryDepth, parkedDepth, drainRate, level, retryAfterSec);
+    }
+
+    // 초과분을 현재 처리 속도로 소진하는 데 걸리는 시간. 속도를 모르면 상한
+    private static double drainSec(long excess, double drainRate, AdmissionProperties props) {
+        if (drainRate <= 0) {
+            return props.maxRetryAfterSec();
+        }
+        return Math.max(1, excess) / drainRate;
+    }
+
+    static long retryAfterSec(double excessSec, AdmissionProperties props) {
+        long sec = (long) Math.ceil(excessSec);
+        return Math.min(Math.max(1, sec), props.maxRetryAfterSec());
+    }
+
+    private long depth(String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : 0;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public record Snapshot(
+            long mainDepth,
+            long retryDepth,
+            long parkedDepth,
+            double drainRate,
+            AdmissionLevel level,
+            long retryAfterSec
+    ) {
+        /** 차단 판단에 쓰는 적재량(보류 큐 제외) */
+        public long backlog() {
+            return mainDepth + retryDepth;
+        }
+
+        /**
+         * 메인 큐 적재량을 소진하는 데 걸릴 예상 시간(consumer lag).
+         * 처리 속도를 아직 측정하지 못했으면(기동 직후, 발행 전용 노드) 알 수 없으므로 0
+         */
+        public double lagSec() {
+            if (mainDepth == 0 || drainRate <= 0) {
+                return 0;
+            }
+            return mainDepth / drainRate;
+        }
+    }
+
+    public record Decision(boolean admitted, long retryAfterSec) {
+        static final Decision ADMITTED = new Decision(true, 0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.notification.admission;
+
+public enum AdmissionLevel {
+    NORMAL,
+    SOFT,
+    HARD
+}
@@ -0,0 +1,7 @@
+package com.example.notification.api;
+
+public enum NotificationChannel {
+    EMAIL,
+    SMS,
+    PUSH
+}
@@ -4,15 +4,23 @@ public record NotificationMessage(
         String notificationId,
         int retryCount,
         String idempotencyKey,
-        String payload
+        String payload,
+        NotificationChannel channel
 ) {
+    public NotificationMessage {
+        // channel 필드 도입 이전에 발행된 메시지는 EMAIL로 간주
+        if (channel == null) {
+            channel = NotificationChannel.EMAIL;
+        }
+    }
+
     public NotificationMessage withRetryCount(int newRetryCount) {
         return new NotificationMessage(
                 this.notificationId,
                 newRetryCount,
                 this.idempotencyKey,
-                this.payload
+                this.payload,
+                this.channel
         );
     }
 }
-    
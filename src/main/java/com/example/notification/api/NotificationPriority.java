@@ -0,0 +1,7 @@
+package com.example.notification.api;
+
+public enum NotificationPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -2,9 +2,12 @@ package com.example.notification.api;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.notification.admission.AdmissionControl;
 import com.example.notification.service.NotificationPublishService;
 
 @RestController
@@ -13,11 +16,20 @@ import com.example.notification.service.NotificationPublishService;
 public class NotificationPublishController {
 
     private final NotificationPublishService service;
+    private final AdmissionControl admissionControl;
 
     @PostMapping
     public ResponseEntity<PublishResponse> publish(@RequestBody PublishRequest req) {
+        // 소비 적체 시 발행 차단(429 + Retry-After)
+        AdmissionControl.Decision decision = admissionControl.admit(req.priorityOrDefault());
+        if (!decision.admitted()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSec()))
+                    .build();
+        }
+
         // 서비스 호출 및 결과 수신
-        NotificationPublishService.NotificationResult result = service.sendNotification(req.id(), req.payload());
+        NotificationPublishService.NotificationResult result = service.sendNotification(req.id(), req.payload(), req.channel());
 
         if (result.isSuccess()) {
             return ResponseEntity.ok(new PublishResponse(
@@ -30,7 +42,10 @@ public class NotificationPublishController {
         }
     }
 
-    public record PublishRequest(String payload, String id) {
+    public record PublishRequest(String payload, String id, NotificationChannel channel, NotificationPriority priority) {
+        NotificationPriority priorityOrDefault() {
+            return priority != null ? priority : NotificationPriority.NORMAL;
+        }
     }
 
     public record PublishResponse(String notificationId, String idempotencyKey, String status) {
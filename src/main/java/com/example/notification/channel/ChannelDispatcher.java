@@ -0,0 +1,155 @@
+package com.example.notification.channel;
+
+import com.example.notification.api.NotificationChannel;
+import com.example.notification.api.NotificationMessage;
+import com.example.notification.config.ChannelProperties;
+import com.example.notification.metrics.NotificationMetrics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 채널별 벌크헤드. 채널마다 전용 스레드 풀과 concurrency개 허가를 가진 세마포어를 둔다.
+ *
+ * 리스너 스레드는 전송 결과를 기다리므로, 한 채널이 붙잡을 수 있는 리스너 스레드는 그 채널의 concurrency가 상한이다.
+ * 허가가 남아 있지 않으면 리스너 스레드를 붙잡지 않고 즉시 REJECTED를 돌려준다.
+ * 따라서 채널별 concurrency는 리스너 concurrency보다 작아야 하며(시작 시 검사), 합계도 그 이하로 잡는 것이 안전하다.
+ * 지연 격리는 리스너 prefetch가 작을 때만 성립한다(spring.rabbitmq.listener.simple.prefetch: 1).
+ * prefetch가 크면 전송을 기다리는 리스너의 버퍼에 다른 채널 메시지가 쌓여 함께 지연된다.
+ *
+ * 허가는 작업이 실제로 끝날 때 반납되므로 실행 중인 작업 수는 concurrency를 넘지 않고, 풀 대기열은 거절하지 않는다.
+ * sendTimeoutMs는 제출 시점부터 재지만 허가를 얻은 작업은 곧바로 스레드를 받으므로 사실상 전송 시간이다.
+ * 타임아웃 시 cancel(true)로 인터럽트하지만, 인터럽트를 무시하는 구현체라면 끝날 때까지 허가를 차지하고
+ * 그동안 해당 채널의 신규 전송은 REJECTED 처리된다.
+ */
+@Slf4j
+@Component
+public class ChannelDispatcher {
+
+    private final Map<NotificationChannel, ChannelSender> senders = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, ThreadPoolExecutor> executors = new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, Semaphore> permits = new EnumMap<>(NotificationChannel.class);
+    private final ChannelProperties channelProperties;
+    private final NotificationMetrics metrics;
+
+    public ChannelDispatcher(List<ChannelSender> senderList,
+                             ChannelProperties channelProperties,
+                             NotificationMetrics metrics,
+                             @Value("${spring.rabbitmq.listener.simple.concurrency:1}") int listenerConcurrency) {
+        this.channelProperties = channelProperties;
+        this.metrics = metrics;
+
+        for (ChannelSender sender : senderList) {
+            ChannelSender prev = senders.put(sender.channel(), sender);
+            if (prev != null) {
+                throw new IllegalStateException("채널 " + sender.channel() + "에 ChannelSender가 중복 등록됨");
+            }
+        }
+
+        int totalConcurrency = 0;
+        for (Map.Entry<NotificationChannel, ChannelProperties.Channel> entry : channelProperties.channels().entrySet()) {
+            NotificationChannel channel = entry.getKey();
+            ChannelProperties.Channel config = entry.getValue();
+            if (!senders.containsKey(channel)) {
+                log.warn("event=channel_sender_missing channel={}", channel);
+                continue;
+            }
+            if (config.concurrency() >= listenerConcurrency) {
+                // 한 채널이 리스너 스레드를 전부 붙잡을 수 있으면 벌크헤드 의미가 없음
+                throw new IllegalStateException("채널 " + channel + " concurrency(" + config.concurrency()
+                        + ")는 리스너 concurrency(" + listenerConcurrency + ")보다 작아야 함");
+            }
+            totalConcurrency += config.concurrency();
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    config.concurrency(),
+                    config.concurrency(),
+                    0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new CustomizableThreadFactory("channel-" + channel.name().toLowerCase() + "-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.prestartAllCoreThreads();
+            executors.put(channel, executor);
+            permits.put(channel, new Semaphore(config.concurrency()));
+            metrics.registerChannelGauges(channel.name().toLowerCase(), executor);
+        }
+
+        if (totalConcurrency > listenerConcurrency) {
+            log.warn("event=channel_concurrency_exceeds_listener total={} listener={}",
+                    totalConcurrency, listenerConcurrency);
+        }
+    }
+
+    public SendOutcome dispatch(NotificationMessage msg) {
+        NotificationChannel channel = msg.channel();
+        ChannelSender sender = senders.get(channel);
+        ThreadPoolExecutor executor = executors.get(channel);
+        if (sender == null || executor == null) {
+            // 전송 구현이 없는 채널은 재시도해도 성공할 수 없으므로 데이터 결함으로 취급
+            throw new IllegalArgumentException("지원하지 않는 채널: " + channel);
+        }
+
+        long startNs = System.nanoTime();
+        SendOutcome outcome;
+        Semaphore channelPermits = permits.get(channel);
+        if (!channelPermits.tryAcquire()) {
+            outcome = SendOutcome.REJECTED;
+            metrics.recordChannelSend(channel.name().toLowerCase(), outcome.name().toLowerCase(),
+                    System.nanoTime() - startNs);
+            return outcome;
+        }
+
+        FutureTask<Boolean> future = new FutureTask<>(() -> sender.send(msg));
+        try {
+            // 실행 전에 취소돼도 run()은 바로 반환하므로 허가는 항상 반납됨
+            executor.execute(() -> {
+                try {
+                    future.run();
+                } finally {
+                    channelPermits.release();
+                }
+            });
+            boolean ok = future.get(channelProperties.get(channel).sendTimeoutMs(), TimeUnit.MILLISECONDS);
+            outcome = ok ? SendOutcome.SUCCESS : SendOutcome.FAILED;
+        } catch (RejectedExecutionException e) {
+            // 종료 중인 풀
+            channelPermits.release();
+            outcome = SendOutcome.REJECTED;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            outcome = SendOutcome.TIMEOUT;
+        } catch (ExecutionException e) {
+            log.warn("event=channel_send_error channel={} idemKey={} error={}",
+                    channel, msg.idempotencyKey(), e.getCause().toString());
+            outcome = SendOutcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            outcome = SendOutcome.FAILED;
+        }
+
+        metrics.recordChannelSend(channel.name().toLowerCase(), outcome.name().toLowerCase(),
+                System.nanoTime() - startNs);
+        return outcome;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.notification.channel;
+
+import com.example.notification.api.NotificationChannel;
+import com.example.notification.api.NotificationMessage;
+
+/**
+ * 채널별 실제 전송 구현체(SPI). 빈으로 등록하면 {@link ChannelDispatcher}가 채널 기준으로 찾아 사용한다.
+ */
+public interface ChannelSender {
+
+    /** 이 구현체가 담당하는 채널 */
+    NotificationChannel channel();
+
+    /**
+     * 전송 시도. 성공하면 true, 재시도가 필요한 실패면 false.
+     * 예외도 재시도 대상 실패로 취급한다.
+     */
+    boolean send(NotificationMessage msg) throws Exception;
+}
@@ -0,0 +1,8 @@
+package com.example.notification.channel;
+
+public enum SendOutcome {
+    SUCCESS,
+    FAILED,
+    TIMEOUT,
+    REJECTED
+}
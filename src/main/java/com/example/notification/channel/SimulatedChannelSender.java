@@ -0,0 +1,35 @@
+package com.example.notification.channel;
+
+import com.example.notification.api.NotificationChannel;
+import com.example.notification.api.NotificationMessage;
+import com.example.notification.config.ChannelProperties;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 설정된 지연과 실패율로 외부 전송을 흉내내는 시뮬레이터용 구현체
+ */
+public class SimulatedChannelSender implements ChannelSender {
+
+    private final NotificationChannel channel;
+    private final ChannelProperties.Simulation simulation;
+
+    public SimulatedChannelSender(NotificationChannel channel, ChannelProperties.Simulation simulation) {
+        this.channel = channel;
+        this.simulation = simulation;
+    }
+
+    @Override
+    public NotificationChannel channel() {
+        return channel;
+    }
+
+    @Override
+    public boolean send(NotificationMessage msg) throws InterruptedException {
+        if (simulation.latencyMs() > 0) {
+            Thread.sleep(simulation.latencyMs());
+        }
+        // 전송 시도(랜덤 실패)
+        return ThreadLocalRandom.current().nextInt(100) >= simulation.failRatePercent();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 발행 API 부하 차단(load shedding) 설정
+ *
+ * 적재량(backlog)은 메인 큐 + 채널 재시도 단계 큐 합계다. 재시도 예산 소진 시 쓰는 보류(park) 큐는
+ * TTL 전에는 소진될 수 없으므로 포함하지 않는다.
+ *
+ * @param enabled          false면 모든 발행 허용
+ * @param softDepth        적재량이 이 이상이면 LOW 우선순위 차단
+ * @param hardDepth        이 이상이면 모든 발행 차단
+ * @param adaptive         true면 적재량 기준에 더해 consumer lag(메인 큐 적재량 / 처리 속도) 기준도 적용
+ * @param softLagSec       adaptive 모드에서 LOW 차단을 시작하는 lag
+ * @param hardLagSec       adaptive 모드에서 전체 차단을 시작하는 lag
+ * @param minDrainRate     이 처리 속도(건/초) 미만이면 부하 상태의 측정값이 아니므로 lag 기준을 쓰지 않음
+ * @param pollIntervalMs   큐 적재량/처리 속도 갱신 주기
+ * @param maxRetryAfterSec Retry-After 상한
+ */
+@ConfigurationProperties(prefix = "admission")
+public record AdmissionProperties(
+        boolean enabled,
+        long softDepth,
+        long hardDepth,
+        boolean adaptive,
+        long softLagSec,
+        long hardLagSec,
+        double minDrainRate,
+        long pollIntervalMs,
+        long maxRetryAfterSec
+) {}
@@ -0,0 +1,34 @@
+package com.example.notification.config;
+
+import com.example.notification.api.NotificationChannel;
+import com.example.notification.channel.ChannelSender;
+import com.example.notification.channel.SimulatedChannelSender;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChannelProperties.class)
+public class ChannelConfig {
+
+    // 실제 연동 구현체로 교체할 때는 해당 채널의 ChannelSender 빈만 바꾸면 됨
+    @Bean
+    ChannelSender emailChannelSender(ChannelProperties props) {
+        return simulated(NotificationChannel.EMAIL, props);
+    }
+
+    @Bean
+    ChannelSender smsChannelSender(ChannelProperties props) {
+        return simulated(NotificationChannel.SMS, props);
+    }
+
+    @Bean
+    ChannelSender pushChannelSender(ChannelProperties props) {
+        return simulated(NotificationChannel.PUSH, props);
+    }
+
+    private ChannelSender simulated(NotificationChannel channel, ChannelProperties props) {
+        return new SimulatedChannelSender(channel, props.get(channel).simulation());
+    }
+}
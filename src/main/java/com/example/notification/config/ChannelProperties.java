@@ -0,0 +1,59 @@
+package com.example.notification.config;
+
+import com.example.notification.api.NotificationChannel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "notification")
+public record ChannelProperties(
+        Map<NotificationChannel, Channel> channels
+) {
+    public ChannelProperties {
+        channels = channels == null ? Map.of() : Map.copyOf(channels);
+    }
+
+    public Channel get(NotificationChannel channel) {
+        Channel config = channels.get(channel);
+        if (config == null) {
+            throw new IllegalArgumentException("설정되지 않은 채널: " + channel);
+        }
+        return config;
+    }
+
+    /**
+     * 채널별 벌크헤드 및 재시도 설정
+     *
+     * @param concurrency   채널 전용 스레드 수(동시 전송 상한). 모두 사용 중이면 즉시 거절.
+     *                      리스너 concurrency보다 작아야 함
+     * @param sendTimeoutMs 전송 시작부터 리스너 스레드가 결과를 기다리는 최대 시간
+     * @param retryDelaysMs 재시도 단계별 지연. 단계 수가 곧 최대 재시도 횟수
+     * @param simulation    시뮬레이터용 지연/실패율
+     */
+    public record Channel(
+            int concurrency,
+            long sendTimeoutMs,
+            List<Long> retryDelaysMs,
+            Simulation simulation
+    ) {
+        public Channel {
+            retryDelaysMs = retryDelaysMs == null ? List.of() : List.copyOf(retryDelaysMs);
+            if (simulation == null) {
+                simulation = new Simulation(0, 0);
+            }
+        }
+
+        public int maxRetryCount() {
+            return retryDelaysMs.size();
+        }
+
+        /** nextRetry(1부터 시작)에 해당하는 재시도 지연 */
+        public long retryDelayMs(int nextRetry) {
+            return retryDelaysMs.get(nextRetry - 1);
+        }
+    }
+
+    public record Simulation(long latencyMs, int failRatePercent) {}
+}
@@ -1,6 +1,8 @@
 package com.example.notification.config;
 
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.context.annotation.Bean;
@@ -8,6 +10,10 @@ import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +41,15 @@ public class RabbitMQConfig {
     public static final String RETRY_KEY = "notification.retry";
     public static final String DLQ_KEY = "notification.dlq";
 
+    // 채널별 재시도 단계(지연)마다 TTL 큐를 하나씩 둔다. 만료되면 메인 큐로 복귀
+    public static String retryTierQueue(long delayMs) {
+        return RETRY_QUEUE + "." + delayMs + "ms";
+    }
+
+    public static String retryTierKey(long delayMs) {
+        return RETRY_KEY + "." + delayMs + "ms";
+    }
+
     // Exchanges
     @Bean
     DirectExchange mainExchange() {
@@ -74,6 +89,27 @@ public class RabbitMQConfig {
         return QueueBuilder.durable("notification.dlq.queue").build();
     }
 
+    @Bean
+    Declarables retryTierQueues(ChannelProperties channelProperties, RetryBudgetProperties retryBudgetProperties) {
+        // 여러 채널이 같은 지연을 쓰면 큐를 공유
+        TreeSet<Long> delays = new TreeSet<>();
+        channelProperties.channels().values().forEach(c -> delays.addAll(c.retryDelaysMs()));
+        // 재시도 예산 소진 시 보류용 큐
+        delays.add(retryBudgetProperties.parkDelayMs());
+
+        List<Declarable> declarables = new ArrayList<>();
+        for (long delayMs : delays) {
+            Queue queue = QueueBuilder.durable(retryTierQueue(delayMs))
+                    .ttl((int) delayMs)
+                    .deadLetterExchange(MAIN_EXCHANGE)
+                    .deadLetterRoutingKey(MAIN_KEY)
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(retryExchange()).with(retryTierKey(delayMs)));
+        }
+        return new Declarables(declarables);
+    }
+
     // Bindings
     @Bean
     Binding mainBinding() {
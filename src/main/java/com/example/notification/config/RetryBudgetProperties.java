@@ -0,0 +1,23 @@
+package com.example.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 전체 노드 공용 재시도 예산
+ *
+ * @param enabled          false면 예산 검사 없이 항상 재시도
+ * @param ratio            윈도우 내 신규 메시지 대비 허용 재시도 비율
+ * @param windowSec        슬라이딩 윈도우 길이(초). 1초 단위 카운터로 근사
+ * @param minRetriesPerSec 트래픽이 적을 때도 보장하는 최소 재시도 수(초당)
+ * @param flushIntervalMs  로컬 카운트를 Redis에 반영하고 합계를 갱신하는 주기
+ * @param parkDelayMs      예산 소진 시 재시도 대신 사용하는 긴 지연
+ */
+@ConfigurationProperties(prefix = "retry-budget")
+public record RetryBudgetProperties(
+        boolean enabled,
+        double ratio,
+        int windowSec,
+        long minRetriesPerSec,
+        long flushIntervalMs,
+        long parkDelayMs
+) {}
@@ -0,0 +1,13 @@
+package com.example.notification.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(재시도 예산 flush, 발행 허용 판단용 큐 조회) 활성화.
+ * 스레드 수는 spring.task.scheduling.pool.size로 설정
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,10 +1,15 @@
 package com.example.notification.consumer;
 
 import com.example.notification.api.NotificationMessage;
+import com.example.notification.channel.ChannelDispatcher;
+import com.example.notification.channel.SendOutcome;
+import com.example.notification.config.ChannelProperties;
 import com.example.notification.config.RabbitMQConfig;
+import com.example.notification.config.RetryBudgetProperties;
 import com.example.notification.idempotency.IdempotencyStore;
 import com.example.notification.metrics.ConsumeResult;
 import com.example.notification.metrics.NotificationMetrics;
+import com.example.notification.retry.RetryBudget;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -13,11 +18,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -29,17 +34,23 @@ public class NotificationConsumer {
     private final StringRedisTemplate redisTemplate;
     private final NotificationMetrics metrics;
     private final ObjectMapper objectMapper;
-
-    private final int maxRetryCount = 3;
+    private final ChannelDispatcher channelDispatcher;
+    private final ChannelProperties channelProperties;
+    private final RetryBudget retryBudget;
+    private final RetryBudgetProperties retryBudgetProperties;
 
     @RabbitListener(queues = RabbitMQConfig.MAIN_QUEUE)
-    public void onMessage(@NonNull NotificationMessage msg) {
+    public void onMessage(@NonNull NotificationMessage msg,
+                          @Header(name = "x-origin", required = false) String origin,
+                          @Header(name = "x-replay", required = false) String replay,
+                          @Header(name = AmqpHeaders.REDELIVERED, required = false) Boolean redelivered) {
         long startNs = System.nanoTime();
         ConsumeResult result = null;
 
         log.info(
-                "consume : event=notify_consume_start idemKey={} retryCount={}",
+                "consume : event=notify_consume_start idemKey={} channel={} retryCount={}",
                 msg.idempotencyKey(),
+                msg.channel(),
                 msg.retryCount());
 
         try {
@@ -64,16 +75,23 @@ public class NotificationConsumer {
                 return;
             }
 
-            // 전송 시도(랜덤 실패)
-            boolean fail = ThreadLocalRandom.current().nextInt(100) < 80; // 실패율 80퍼
+            // 재시도 예산 산정 기준(신규 트래픽). 처리권을 얻은 최초 시도만 집계하고
+            // 미뤄진 메시지, DLQ 재처리, 브로커 재전달은 제외
+            if (msg.retryCount() == 0 && origin == null && replay == null && !Boolean.TRUE.equals(redelivered)) {
+                retryBudget.recordFresh();
+            }
 
-            if (!fail) {
+            // 채널 벌크헤드를 통해 전송 시도
+            SendOutcome outcome = channelDispatcher.dispatch(msg);
+
+            if (outcome == SendOutcome.SUCCESS) {
                 // 성공 처리
                 idempotencyStore.markDone(msg.idempotencyKey());
                 result = ConsumeResult.SUCCESS;
                 log.info(
-                        "event=notify_success idemKey={} retryCount={}",
+                        "event=notify_success idemKey={} channel={} retryCount={}",
                         msg.idempotencyKey(),
+                        msg.channel(),
                         msg.retryCount());
                 return;
             }
@@ -81,40 +99,20 @@ public class NotificationConsumer {
             // 실패 시: 처리권 해제(재시도 허용)
             idempotencyStore.release(msg.idempotencyKey());
 
-            int nextRetry = msg.retryCount() + 1;
-
-            if (nextRetry > maxRetryCount) {
-                rabbitTemplate.convertAndSend(
-                        RabbitMQConfig.DLQ_EXCHANGE,
-                        RabbitMQConfig.DLQ_KEY,
-                        msg.withRetryCount(nextRetry), // record에 withRetryCount 만들어두면 편함
-                        message -> {
-                            message.getMessageProperties().setHeader("x-dlq-origin", "manual");
-                            message.getMessageProperties().setHeader("x-dlq-reason", "retry_exceeded");
-                            message.getMessageProperties().setHeader("x-retry-count", msg.retryCount());
-                            return message;
-                        });
-                result = ConsumeResult.SENT_TO_DLQ;
+            if (outcome == SendOutcome.REJECTED) {
+                // 우리 쪽 풀 포화는 메시지 탓이 아니므로 재시도 횟수/예산을 쓰지 않고 미룸
+                result = defer(msg);
                 return;
             }
 
             log.warn(
-                    "event=notify_retry_published idemKey={} retryCount={} nextRetry={}",
+                    "event=notify_send_failed idemKey={} channel={} outcome={} retryCount={}",
                     msg.idempotencyKey(),
-                    msg.retryCount(),
-                    nextRetry);
+                    msg.channel(),
+                    outcome,
+                    msg.retryCount());
 
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.RETRY_EXCHANGE,
-                    RabbitMQConfig.RETRY_KEY,
-                    msg.withRetryCount(nextRetry),
-                    message -> {
-                        message.getMessageProperties().setHeader("x-origin", "retry");
-                        message.getMessageProperties().setHeader("x-retry-count", nextRetry);
-                        return message;
-                    });
-            ;
-            result = ConsumeResult.RETRY_PUBLISHED;
+            result = handleFailure(msg);
 
         } catch (NullPointerException | IllegalArgumentException e) {
             // 데이터 결함형 에러
@@ -131,8 +129,7 @@ public class NotificationConsumer {
             log.error("처리 중 에러 발생: {}", e.getMessage());
 
             // 일반적인 실패는 기존의 handleFailure 로직 수행
-            handleFailure(msg);
-            result = ConsumeResult.RETRY_PUBLISHED;
+            result = handleFailure(msg);
 
         } finally {
             // result가 null이면 로직 버그니까 잡히게 하거나 UNKNOWN 추가해도 됨
@@ -143,12 +140,34 @@ public class NotificationConsumer {
         }
     }
 
-    // NotificationConsumer.java 내부
+    // 재시도 횟수를 유지한 채 채널의 첫 재시도 지연만큼 미룸
+    private ConsumeResult defer(NotificationMessage msg) {
+        ChannelProperties.Channel channelConfig = channelProperties.get(msg.channel());
+        if (channelConfig.maxRetryCount() == 0) {
+            // 재시도 단계가 없는 채널은 미룰 큐가 없으므로 일반 실패로 처리
+            return handleFailure(msg);
+        }
+        long delayMs = channelConfig.retryDelayMs(1);
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.RETRY_EXCHANGE,
+                RabbitMQConfig.retryTierKey(delayMs),
+                msg,
+                message -> {
+                    message.getMessageProperties().setHeader("x-origin", "bulkhead_rejected");
+                    message.getMessageProperties().setHeader("x-retry-count", msg.retryCount());
+                    return message;
+                });
+        log.warn("event=notify_deferred idemKey={} channel={} retryCount={} delayMs={}",
+                msg.idempotencyKey(), msg.channel(), msg.retryCount(), delayMs);
+        return ConsumeResult.DEFERRED;
+    }
 
-    private void handleFailure(NotificationMessage msg) {
+    // 채널별 재시도 단계에 따라 재시도 큐 또는 DLQ로 전송
+    private ConsumeResult handleFailure(NotificationMessage msg) {
+        ChannelProperties.Channel channelConfig = channelProperties.get(msg.channel());
         int nextRetry = msg.retryCount() + 1;
 
-        if (nextRetry > maxRetryCount) {
+        if (nextRetry > channelConfig.maxRetryCount()) {
             // 최대 재시도 횟수 초과 시 DLQ로 전송
             rabbitTemplate.convertAndSend(
                     RabbitMQConfig.DLQ_EXCHANGE,
@@ -157,22 +176,38 @@ public class NotificationConsumer {
                     message -> {
                         message.getMessageProperties().setHeader("x-dlq-origin", "manual");
                         message.getMessageProperties().setHeader("x-dlq-reason", "retry_exceeded");
+                        message.getMessageProperties().setHeader("x-retry-count", msg.retryCount());
                         return message;
                     });
-            log.error("event=notify_dlq_sent idemKey={} retryCount={}", msg.idempotencyKey(), nextRetry);
-        } else {
-            // 재시도 횟수가 남았으면 재시도 큐로 전송
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.RETRY_EXCHANGE,
-                    RabbitMQConfig.RETRY_KEY,
-                    msg.withRetryCount(nextRetry),
-                    message -> {
-                        message.getMessageProperties().setHeader("x-origin", "retry");
-                        message.getMessageProperties().setHeader("x-retry-count", nextRetry);
-                        return message;
-                    });
-            log.warn("event=notify_retry_published idemKey={} nextRetry={}", msg.idempotencyKey(), nextRetry);
+            log.error("event=notify_dlq_sent idemKey={} channel={} retryCount={}",
+                    msg.idempotencyKey(), msg.channel(), nextRetry);
+            return ConsumeResult.SENT_TO_DLQ;
+        }
+
+        // 재시도 예산이 남았으면 해당 단계 지연의 재시도 큐로, 소진됐으면 긴 지연 큐에 보류
+        boolean withinBudget = retryBudget.tryAcquireRetry();
+        long delayMs = withinBudget
+                ? channelConfig.retryDelayMs(nextRetry)
+                : retryBudgetProperties.parkDelayMs();
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.RETRY_EXCHANGE,
+                RabbitMQConfig.retryTierKey(delayMs),
+                msg.withRetryCount(nextRetry),
+                message -> {
+                    message.getMessageProperties().setHeader("x-origin", withinBudget ? "retry" : "retry_parked");
+                    message.getMessageProperties().setHeader("x-retry-count", nextRetry);
+                    return message;
+                });
+
+        if (!withinBudget) {
+            log.warn("event=notify_retry_parked idemKey={} channel={} nextRetry={} delayMs={}",
+                    msg.idempotencyKey(), msg.channel(), nextRetry, delayMs);
+            return ConsumeResult.RETRY_PARKED;
         }
+
+        log.warn("event=notify_retry_published idemKey={} channel={} nextRetry={} delayMs={}",
+                msg.idempotencyKey(), msg.channel(), nextRetry, delayMs);
+        return ConsumeResult.RETRY_PUBLISHED;
     }
 
 }
@@ -0,0 +1,226 @@
+package com.example.notification.idempotency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 메모리 절약형 멱등성 저장소.
+ *
+ * - DONE: 시간 버킷별 해시 {@code idemp:d:<bucket>:<shard>} 의 필드(UUID 16바이트)에 1바이트 상태로 저장.
+ *   TTL은 키마다가 아니라 버킷 해시 단위로 걸어 버킷이 통째로 만료된다.
+ *   해시 하나가 hash-max-listpack-entries(기본 128)를 넘으면 hashtable로 바뀌어 절감 효과 대부분을 잃으므로,
+ *   shard 수는 예상 유입량(expected-keys-per-sec)에서 버킷당 해시 하나에 fields-per-hash개가 들어가도록 계산한다.
+ *   계산된 shard 수는 버킷에 처음 기록할 때 {@code idemp:d:<bucket>:n}에 고정되고 이후 조회는 이 값을 쓴다.
+ *   설정을 바꾸거나 설정이 섞인 채 배포돼도 기존 버킷의 키 위치는 바뀌지 않으며, 새 값은 다음 버킷부터 적용된다.
+ * - PROCESSING: 처리 중인 키는 소수이고 짧게 살아야 하므로 {@code idemp:p:<16바이트>} 단일 키에 1바이트로 저장.
+ *
+ * 필드 단위 TTL이 없으므로 DONE은 최소 doneTtl, 최대 doneTtl + bucketSec 동안 유지된다.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.mode", havingValue = "compact")
+public class CompactRedisIdempotencyStore implements IdempotencyStore {
+
+    private static final byte[] PROCESSING_PREFIX = "idemp:p:".getBytes(StandardCharsets.UTF_8);
+    private static final String DONE_PREFIX = "idemp:d:";
+
+    // 버킷 해시 이름은 버킷별로 고정된 shard 수({@code idemp:d:<bucket>:n})를 읽어 스크립트 안에서 만든다.
+    // (KEYS로 선언하지 않는 키를 건드리므로 단일 노드 Redis 전제)
+
+    // KEYS[1]=처리중 키 / ARGV[1]=필드, ARGV[2]=처리중 TTL(ms), ARGV[3]=shard 해시값, ARGV[4..]=버킷 키 prefix(최신순)
+    private static final RedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local h = tonumber(ARGV[3])
+            for i = 4, #ARGV do
+              local n = tonumber(redis.call('GET', ARGV[i] .. ':n'))
+              if n and redis.call('HEXISTS', ARGV[i] .. ':' .. string.format('%d', h % n), ARGV[1]) == 1 then
+                return 0
+              end
+            end
+            if redis.call('SET', KEYS[1], 'P', 'NX', 'PX', ARGV[2]) then return 1 end
+            return 0
+            """, Long.class);
+
+    // KEYS[1]=처리중 키 / ARGV[1]=필드, ARGV[2]=버킷 만료 시각(epoch sec), ARGV[3]=shard 해시값,
+    // ARGV[4]=현재 버킷 키 prefix, ARGV[5]=설정된 shard 수(버킷에 처음 기록할 때만 사용)
+    private static final RedisScript<Long> MARK_DONE = new DefaultRedisScript<>("""
+            local meta = ARGV[4] .. ':n'
+            redis.call('SET', meta, ARGV[5], 'NX', 'EXAT', ARGV[2])
+            local n = tonumber(redis.call('GET', meta))
+            local key = ARGV[4] .. ':' .. string.format('%d', tonumber(ARGV[3]) % n)
+            redis.call('HSET', key, ARGV[1], 'D')
+            redis.call('EXPIREAT', key, ARGV[2])
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=처리중 키 / ARGV[1]=필드, ARGV[2]=shard 해시값, ARGV[3..]=버킷 키 prefix
+    private static final RedisScript<Long> RESET = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            local h = tonumber(ARGV[2])
+            for i = 3, #ARGV do
+              local n = tonumber(redis.call('GET', ARGV[i] .. ':n'))
+              if n then
+                redis.call('HDEL', ARGV[i] .. ':' .. string.format('%d', h % n), ARGV[1])
+              end
+            end
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<byte[], byte[]> redis;
+    private final long processingTtlMs;
+    private final long doneTtlSec;
+    private final long bucketSec;
+    private final int shards;
+
+    @Autowired
+    public CompactRedisIdempotencyStore(
+            RedisConnectionFactory connectionFactory,
+            @Value("${idempotency.processing-ttl-sec:60}") long processingTtlSec,
+            @Value("${idempotency.done-ttl-sec:86400}") long doneTtlSec,
+            @Value("${idempotency.compact.bucket-sec:14400}") long bucketSec,
+            @Value("${idempotency.compact.expected-keys-per-sec:3000}") long expectedKeysPerSec,
+            @Value("${idempotency.compact.fields-per-hash:90}") int fieldsPerHash
+    ) {
+        this(connectionFactory, processingTtlSec, doneTtlSec, bucketSec,
+                shardsFor(expectedKeysPerSec, bucketSec, fieldsPerHash));
+    }
+
+    public CompactRedisIdempotencyStore(
+            RedisConnectionFactory connectionFactory,
+            long processingTtlSec,
+            long doneTtlSec,
+            long bucketSec,
+            int shards
+    ) {
+        this.redis = bytesTemplate(connectionFactory);
+        this.processingTtlMs = processingTtlSec * 1000;
+        this.doneTtlSec = doneTtlSec;
+        this.bucketSec = bucketSec;
+        this.shards = shards;
+    }
+
+    /** 버킷 하나에 쌓일 예상 키 수를 해시당 fieldsPerHash개로 나누는 shard 수 */
+    static int shardsFor(long expectedKeysPerSec, long bucketSec, int fieldsPerHash) {
+        long keysPerBucket = expectedKeysPerSec * bucketSec;
+        long shards = (keysPerBucket + fieldsPerHash - 1) / fieldsPerHash;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, shards));
+    }
+
+    private static RedisTemplate<byte[], byte[]> bytesTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<byte[], byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setEnableDefaultSerializer(false);
+        template.setKeySerializer(RedisSerializer.byteArray());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.setHashKeySerializer(RedisSerializer.byteArray());
+        template.setHashValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        byte[] field = encode(key);
+        List<byte[]> args = new ArrayList<>();
+        args.add(field);
+        args.add(ascii(processingTtlMs));
+        args.add(ascii(shardHash(field)));
+        liveBuckets().forEach(b -> args.add(bucketPrefix(b)));
+        Long ok = redis.execute(ACQUIRE, List.of(processingKey(field)), args.toArray());
+        return ok != null && ok == 1L;
+    }
+
+    @Override
+    public void markDone(String key) {
+        byte[] field = encode(key);
+        long bucket = currentBucket();
+        // 버킷 마지막 기록 시점부터 doneTtl이 보장되도록 만료 시각을 버킷 끝 기준으로 설정
+        long expireAt = (bucket + 1) * bucketSec + doneTtlSec;
+        redis.execute(MARK_DONE, List.of(processingKey(field)),
+                field, ascii(expireAt), ascii(shardHash(field)), bucketPrefix(bucket), ascii(shards));
+    }
+
+    @Override
+    public void release(String key) {
+        // 실패 경로: markDone 전이므로 DONE 기록은 없고 처리중 키만 지우면 됨
+        redis.delete(processingKey(encode(key)));
+    }
+
+    @Override
+    public void reset(String key) {
+        // DLQ 재처리: 살아 있는 모든 버킷에서 DONE 기록까지 지움
+        byte[] field = encode(key);
+        List<byte[]> args = new ArrayList<>();
+        args.add(field);
+        args.add(ascii(shardHash(field)));
+        liveBuckets().forEach(b -> args.add(bucketPrefix(b)));
+        redis.execute(RESET, List.of(processingKey(field)), args.toArray());
+    }
+
+    /** UUID 형식이면 16바이트, 아니면 UTF-8 바이트 그대로 사용 */
+    static byte[] encode(String key) {
+        try {
+            UUID uuid = UUID.fromString(key);
+            return ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        } catch (IllegalArgumentException e) {
+            return key.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    long currentBucket() {
+        return System.currentTimeMillis() / 1000 / bucketSec;
+    }
+
+    // 아직 만료되지 않았을 수 있는 모든 버킷(최신순)
+    List<Long> liveBuckets() {
+        long current = currentBucket();
+        long span = (doneTtlSec + bucketSec - 1) / bucketSec;
+        List<Long> buckets = new ArrayList<>((int) span + 1);
+        for (long b = current; b >= current - span; b--) {
+            buckets.add(b);
+        }
+        return buckets;
+    }
+
+    static byte[] bucketPrefix(long bucket) {
+        return (DONE_PREFIX + bucket).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * shard 선택용 해시값(필드 하위 6바이트). shard = 해시값 % 버킷의 shard 수.
+     * Lua 숫자(double)로 정확히 나머지를 구할 수 있도록 48비트로 제한. UUIDv4는 하위 바이트가 균등 분포
+     */
+    static long shardHash(byte[] field) {
+        long h = 0;
+        for (int i = Math.max(0, field.length - 6); i < field.length; i++) {
+            h = (h << 8) | (field[i] & 0xff);
+        }
+        return h;
+    }
+
+    private static byte[] processingKey(byte[] field) {
+        return ByteBuffer.allocate(PROCESSING_PREFIX.length + field.length)
+                .put(PROCESSING_PREFIX)
+                .put(field)
+                .array();
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+}
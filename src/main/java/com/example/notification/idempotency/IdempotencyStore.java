@@ -11,4 +11,9 @@ public interface IdempotencyStore {
 
     /** 실패 시 처리권 해제(재시도 가능하게) */
     void release(String key);
+
+    /** 완료 기록까지 포함해 초기화(DLQ 재처리 시 다시 처리되도록) */
+    default void reset(String key) {
+        release(key);
+    }
 }
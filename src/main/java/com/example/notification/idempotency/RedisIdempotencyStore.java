@@ -1,12 +1,14 @@
 package com.example.notification.idempotency;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 
 @Component
+@ConditionalOnProperty(name = "idempotency.mode", havingValue = "string", matchIfMissing = true)
 public class RedisIdempotencyStore implements IdempotencyStore {
 
     private final StringRedisTemplate redis;
@@ -3,6 +3,8 @@ package com.example.notification.metrics;
 public enum ConsumeResult {
     SUCCESS,
     RETRY_PUBLISHED,
+    RETRY_PARKED,
+    DEFERRED,
     SENT_TO_DLQ,
     SKIPPED_DUPLICATE
 }
\ No newline at end of file
@@ -7,7 +7,9 @@ import io.micrometer.core.instrument.Timer;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 @Component
 public class NotificationMetrics {
@@ -15,12 +17,22 @@ public class NotificationMetrics {
     private static final String METRIC_PUBLISH = "notify_publish_total";
     private static final String METRIC_SUCCESS = "notify_success_total";
     private static final String METRIC_RETRY = "notify_retry_total";
+    private static final String METRIC_RETRY_DEFERRED = "notify_retry_deferred_total";
+    private static final String METRIC_RETRY_PARKED = "notify_retry_parked_total";
+    private static final String METRIC_RETRY_BUDGET = "notify_retry_budget_utilization";
     private static final String METRIC_SKIP = "notify_skip_total";
     private static final String METRIC_REPLAY_SUCCESS = "notify_replay_success_total";
     private static final String METRIC_POISON_PILL = "notify_poison_pill_total";
     private static final String METRIC_DLQ_TOTAL = "notify_dlq_total";
     private static final String METRIC_DEAD_COUNT = "notify_dead_letter_count";
     private static final String METRIC_LATENCY = "notify_processing_seconds";
+    private static final String METRIC_DRAINED = "notify_drained_total";
+    private static final String METRIC_SHED = "notify_publish_shed_total";
+    private static final String METRIC_ADMISSION_BACKLOG = "notify_admission_backlog";
+    private static final String METRIC_ADMISSION_LAG = "notify_admission_lag_seconds";
+    private static final String METRIC_ADMISSION_LEVEL = "notify_admission_level";
+    private static final String METRIC_CHANNEL_SEND = "notify_channel_send_seconds";
+    private static final String METRIC_CHANNEL_ACTIVE = "notify_channel_active_threads";
 
     private final MeterRegistry registry;
     private final StringRedisTemplate redisTemplate;
@@ -28,9 +40,12 @@ public class NotificationMetrics {
     private final Counter publishCounter;
     private final Counter successCounter;
     private final Counter retryCounter;
+    private final Counter retryDeferredCounter;
+    private final Counter retryParkedCounter;
     private final Counter skipCounter;
     private final Counter replaySuccessCounter;
     private final Counter poisonPillCounter;
+    private final Counter drainedCounter;
     private final Timer processingTimer;
 
     public NotificationMetrics(MeterRegistry registry, StringRedisTemplate redisTemplate) {
@@ -40,9 +55,12 @@ public class NotificationMetrics {
         this.publishCounter = createCounter(METRIC_PUBLISH, "전체 알림 발행 요청 수");
         this.successCounter = createCounter(METRIC_SUCCESS, "최초 전송 성공 수");
         this.retryCounter = createCounter(METRIC_RETRY, "재시도 큐 발행 수");
+        this.retryDeferredCounter = createCounter(METRIC_RETRY_DEFERRED, "채널 벌크헤드 포화로 재시도 횟수 차감 없이 미뤄진 수");
+        this.retryParkedCounter = createCounter(METRIC_RETRY_PARKED, "재시도 예산 소진으로 긴 지연 큐에 보류된 수");
         this.skipCounter = createCounter(METRIC_SKIP, "멱등성에 의한 중복 제거 수");
         this.replaySuccessCounter = createCounter(METRIC_REPLAY_SUCCESS, "DLQ에서 메인 큐로 복구 성공한 수");
         this.poisonPillCounter = createCounter(METRIC_POISON_PILL, "데이터 결함으로 인해 격리된 메시지 수");
+        this.drainedCounter = createCounter(METRIC_DRAINED, "파이프라인을 완전히 빠져나간 메시지 수(성공, DLQ, 중복, 격리)");
         
         this.processingTimer = Timer.builder(METRIC_LATENCY).register(registry);
 
@@ -64,12 +82,53 @@ public class NotificationMetrics {
         .register(registry);
     }
 
+    // 채널 벌크헤드 포화도 게이지
+    public void registerChannelGauges(String channel, ThreadPoolExecutor executor) {
+        Gauge.builder(METRIC_CHANNEL_ACTIVE, executor, ThreadPoolExecutor::getActiveCount)
+                .description("채널 전용 풀에서 전송 중인 스레드 수")
+                .tag("channel", channel)
+                .register(registry);
+    }
+
+    // 재시도 예산 사용률 게이지 (1.0 이상이면 소진)
+    public <T> void registerRetryBudgetGauge(T budget, ToDoubleFunction<T> utilization) {
+        Gauge.builder(METRIC_RETRY_BUDGET, budget, utilization)
+                .description("전체 노드 재시도 예산 사용률")
+                .register(registry);
+    }
+
+    // 발행 허용 판단 근거 게이지
+    public <T> void registerAdmissionBacklogGauge(String queue, T source, ToDoubleFunction<T> depth) {
+        Gauge.builder(METRIC_ADMISSION_BACKLOG, source, depth)
+                .description("큐 종류별 적재량 (parked는 차단 판단에서 제외)")
+                .tag("queue", queue)
+                .register(registry);
+    }
+
+    public <T> void registerAdmissionLagGauge(T source, ToDoubleFunction<T> lagSec) {
+        Gauge.builder(METRIC_ADMISSION_LAG, source, lagSec)
+                .description("메인 큐 적재량을 소진하는 데 걸릴 예상 시간 (처리 속도 미측정 시 0)")
+                .register(registry);
+    }
+
+    public <T> void registerAdmissionLevelGauge(T source, ToDoubleFunction<T> level) {
+        Gauge.builder(METRIC_ADMISSION_LEVEL, source, level)
+                .description("발행 차단 단계 (0=NORMAL, 1=SOFT, 2=HARD)")
+                .register(registry);
+    }
+
     // --- 기록 메서드들 ---
 
     public void recordResult(ConsumeResult result) {
+        switch (result) {
+            case SUCCESS, SENT_TO_DLQ, SKIPPED_DUPLICATE -> drainedCounter.increment();
+            default -> { }
+        }
         switch (result) {
             case SUCCESS -> successCounter.increment();
             case RETRY_PUBLISHED -> retryCounter.increment();
+            case RETRY_PARKED -> retryParkedCounter.increment();
+            case DEFERRED -> retryDeferredCounter.increment();
             case SKIPPED_DUPLICATE -> skipCounter.increment();
         }
     }
@@ -89,7 +148,35 @@ public class NotificationMetrics {
         processingTimer.record(durationNs, TimeUnit.NANOSECONDS);
     }
 
+    // 채널별 처리량(count)과 지연(분포)을 한 Timer로 기록
+    public void recordChannelSend(String channel, String outcome, long durationNs) {
+        Timer.builder(METRIC_CHANNEL_SEND)
+                .description("채널별 전송 소요 시간")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(durationNs, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordShed(String priority, String level) {
+        Counter.builder(METRIC_SHED)
+                .description("적체로 인해 429로 거절된 발행 수")
+                .tag("priority", priority)
+                .tag("level", level)
+                .register(registry)
+                .increment();
+    }
+
+    // 이 노드에서 파이프라인을 빠져나간 메시지 수 (소진 속도 산정용).
+    // 재시도/보류/미룸은 메인 큐로 되돌아오므로 제외
+    public long drainedCount() {
+        return (long) drainedCounter.count();
+    }
+
     public void recordPublish() { publishCounter.increment(); }
 
-    public void recordPoisonPill() { poisonPillCounter.increment(); }
+    public void recordPoisonPill() {
+        poisonPillCounter.increment();
+        drainedCounter.increment();
+    }
 }
\ No newline at end of file
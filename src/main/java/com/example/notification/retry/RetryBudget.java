@@ -0,0 +1,155 @@
+package com.example.notification.retry;
+
+import com.example.notification.config.RetryBudgetProperties;
+import com.example.notification.metrics.NotificationMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재시도 증폭 제한. 윈도우 내 재시도 발행 수를 신규 메시지 수의 일정 비율로 묶는다.
+ *
+ * 노드 간 합산은 Redis의 초 단위 카운터(retry-budget:{fresh|retry}:<epochSec>)로 하고,
+ * 메시지마다 Redis를 호출하지 않도록 로컬에서 모았다가 flushIntervalMs마다 한 번에 반영한다.
+ * 판단은 마지막으로 읽은 전체 합계 + 아직 반영 안 된 로컬 카운트 기준이라 근사치다.
+ */
+@Slf4j
+@Component
+public class RetryBudget {
+
+    private static final String FRESH_PREFIX = "retry-budget:fresh:";
+    private static final String RETRY_PREFIX = "retry-budget:retry:";
+
+    private final StringRedisTemplate redis;
+    private final RetryBudgetProperties props;
+
+    private final LongAdder pendingFresh = new LongAdder();
+    private final LongAdder pendingRetry = new LongAdder();
+
+    // 마지막 동기화 시점의 전체 노드 윈도우 합계 (flush 스레드만 갱신)
+    private volatile long windowFresh;
+    private volatile long windowRetry;
+
+    public RetryBudget(StringRedisTemplate redis, RetryBudgetProperties props, NotificationMetrics metrics) {
+        this.redis = redis;
+        this.props = props;
+        metrics.registerRetryBudgetGauge(this, RetryBudget::utilization);
+    }
+
+    /** 신규 메시지 기록. 재시도/미룸/DLQ 재처리로 다시 들어온 메시지는 호출하지 않는다 */
+    public void recordFresh() {
+        if (props.enabled()) {
+            pendingFresh.increment();
+        }
+    }
+
+    /** 재시도 발행 가능하면 예산을 차감하고 true, 소진됐으면 false */
+    public boolean tryAcquireRetry() {
+        if (!props.enabled()) {
+            return true;
+        }
+        if (usedRetries() >= allowance()) {
+            return false;
+        }
+        pendingRetry.increment();
+        return true;
+    }
+
+    /** 현재 윈도우에서 허용되는 재시도 수 */
+    public long allowance() {
+        long fresh = windowFresh + pendingFresh.sum();
+        long floor = props.minRetriesPerSec() * props.windowSec();
+        return Math.max(floor, (long) (fresh * props.ratio()));
+    }
+
+    /** 예산 사용률(1.0 이상이면 소진) */
+    public double utilization() {
+        long used = usedRetries();
+        long allowance = allowance();
+        if (allowance == 0) {
+            // min-retries-per-sec가 0이고 신규 트래픽이 없을 때. 사용분이 있으면 소진으로 본다
+            return used == 0 ? 0 : 1;
+        }
+        return (double) used / allowance;
+    }
+
+    private long usedRetries() {
+        return windowRetry + pendingRetry.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${retry-budget.flush-interval-ms:200}")
+    void flush() {
+        if (!props.enabled()) {
+            return;
+        }
+
+        long fresh = pendingFresh.sumThenReset();
+        long retry = pendingRetry.sumThenReset();
+        // Redis 반영 전까지 판단에서 빠지지 않도록 로컬 합계에 먼저 더해둠
+        windowFresh += fresh;
+        windowRetry += retry;
+
+        long nowSec = System.currentTimeMillis() / 1000;
+        long ttlSec = props.windowSec() * 2L;
+
+        try {
+            redis.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection c = (StringRedisConnection) conn;
+                if (fresh > 0) {
+                    c.incrBy(FRESH_PREFIX + nowSec, fresh);
+                    c.expire(FRESH_PREFIX + nowSec, ttlSec);
+                }
+                if (retry > 0) {
+                    c.incrBy(RETRY_PREFIX + nowSec, retry);
+                    c.expire(RETRY_PREFIX + nowSec, ttlSec);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // 반영 실패분은 다음 주기에 다시 시도
+            windowFresh -= fresh;
+            windowRetry -= retry;
+            pendingFresh.add(fresh);
+            pendingRetry.add(retry);
+            log.warn("event=retry_budget_flush_failed error={}", e.getMessage());
+            return;
+        }
+
+        try {
+            List<String> keys = new ArrayList<>(props.windowSec() * 2);
+            for (int i = 0; i < props.windowSec(); i++) {
+                keys.add(FRESH_PREFIX + (nowSec - i));
+            }
+            for (int i = 0; i < props.windowSec(); i++) {
+                keys.add(RETRY_PREFIX + (nowSec - i));
+            }
+            List<String> values = redis.opsForValue().multiGet(keys);
+            if (values == null) {
+                return;
+            }
+            windowFresh = sum(values.subList(0, props.windowSec()));
+            windowRetry = sum(values.subList(props.windowSec(), values.size()));
+        } catch (Exception e) {
+            // 합계 갱신 실패 시 직전 값 + 로컬 반영분으로 계속 판단
+            log.warn("event=retry_budget_refresh_failed error={}", e.getMessage());
+        }
+    }
+
+    private static long sum(List<String> values) {
+        long total = 0;
+        for (String v : values) {
+            if (v != null) {
+                total += Long.parseLong(v);
+            }
+        }
+        return total;
+    }
+}
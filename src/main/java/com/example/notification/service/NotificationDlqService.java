@@ -45,7 +45,7 @@ public class NotificationDlqService {
                 NotificationMessage msg = objectMapper.readValue(payload, NotificationMessage.class);
 
                 // 멱등성 저장소에서 해당 키 해제 (다시 처리될 수 있도록)
-                idempotencyStore.release(msg.idempotencyKey());
+                idempotencyStore.reset(msg.idempotencyKey());
 
                 metrics.recordReplaySuccess();
 
@@ -4,6 +4,7 @@ package com.example.notification.service;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import com.example.notification.api.NotificationChannel;
 import com.example.notification.api.NotificationMessage;
 import com.example.notification.config.RabbitMQConfig;
 import com.example.notification.metrics.NotificationMetrics;
@@ -19,7 +20,7 @@ public class NotificationPublishService {
     private final RabbitTemplate rabbitTemplate;
     private final NotificationMetrics metrics;
     
-    public NotificationResult sendNotification(String sequenceId, String payload) {
+    public NotificationResult sendNotification(String sequenceId, String payload, NotificationChannel channel) {
 
         String idempotencyKey = UUID.randomUUID().toString();
 
@@ -27,7 +28,8 @@ public class NotificationPublishService {
                 sequenceId,
                 0,
                 idempotencyKey,
-                payload
+                payload,
+                channel
         );
 
         try {
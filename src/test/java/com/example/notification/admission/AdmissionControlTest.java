@@ -0,0 +1,81 @@
+package com.example.notification.admission;
+
+import com.example.notification.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTest {
+
+    private static final AdmissionProperties STATIC =
+            new AdmissionProperties(true, 100, 1000, false, 30, 120, 5, 1000, 60);
+    private static final AdmissionProperties ADAPTIVE =
+            new AdmissionProperties(true, 100, 1000, true, 30, 120, 5, 1000, 60);
+
+    @Test
+    void belowSoftDepthIsNormal() {
+        AdmissionControl.Snapshot s = AdmissionControl.evaluate(50, 49, 0, 10, STATIC);
+
+        assertThat(s.level()).isEqualTo(AdmissionLevel.NORMAL);
+        assertThat(s.retryAfterSec()).isZero();
+    }
+
+    @Test
+    void depthThresholdsSelectSoftAndHard() {
+        assertThat(AdmissionControl.evaluate(60, 40, 0, 10, STATIC).level()).isEqualTo(AdmissionLevel.SOFT);
+        assertThat(AdmissionControl.evaluate(600, 400, 0, 10, STATIC).level()).isEqualTo(AdmissionLevel.HARD);
+    }
+
+    @Test
+    void parkedMessagesDoNotCountTowardBacklog() {
+        AdmissionControl.Snapshot s = AdmissionControl.evaluate(10, 10, 50_000, 10, STATIC);
+
+        assertThat(s.level()).isEqualTo(AdmissionLevel.NORMAL);
+        assertThat(s.backlog()).isEqualTo(20);
+    }
+
+    @Test
+    void adaptiveStaysNormalWhenIdleWithDecayedDrainRate() {
+        // 트래픽이 멈춰 EWMA가 0에 가깝게 떨어졌고 재시도 큐에 메시지 하나만 남은 상태
+        AdmissionControl.Snapshot s = AdmissionControl.evaluate(0, 1, 0, 0.0001, ADAPTIVE);
+
+        assertThat(s.level()).isEqualTo(AdmissionLevel.NORMAL);
+    }
+
+    @Test
+    void adaptiveIgnoresLagBelowMinDrainRate() {
+        // 메인 큐에 1건이 있어도 처리 속도가 부하 상태 측정값이 아니면 lag 기준을 쓰지 않음
+        AdmissionControl.Snapshot s = AdmissionControl.evaluate(1, 0, 0, 0.001, ADAPTIVE);
+
+        assertThat(s.level()).isEqualTo(AdmissionLevel.NORMAL);
+    }
+
+    @Test
+    void adaptiveShedsOnLagUnderLoad() {
+        // 적재량 90, 초당 5건 → lag 18s < soft 30s
+        assertThat(AdmissionControl.evaluate(90, 0, 0, 5, ADAPTIVE).level()).isEqualTo(AdmissionLevel.NORMAL);
+
+        // 적재량 800(hard 미만), 초당 5건 → lag 160s ≥ hard 120s, 40초 후 재시도
+        AdmissionControl.Snapshot s = AdmissionControl.evaluate(800, 0, 0, 5, ADAPTIVE);
+        assertThat(s.level()).isEqualTo(AdmissionLevel.HARD);
+        assertThat(s.retryAfterSec()).isEqualTo(40);
+    }
+
+    @Test
+    void retryAfterIsTimeToDrainBelowLimitAndClamped() {
+        // soft 100 초과분 50건 / 초당 10건 = 5초
+        assertThat(AdmissionControl.evaluate(150, 0, 0, 10, STATIC).retryAfterSec()).isEqualTo(5);
+        // 처리 속도를 모르면 상한
+        assertThat(AdmissionControl.evaluate(150, 0, 0, 0, STATIC).retryAfterSec()).isEqualTo(60);
+
+        assertThat(AdmissionControl.retryAfterSec(0.2, STATIC)).isEqualTo(1);
+        assertThat(AdmissionControl.retryAfterSec(10_000, STATIC)).isEqualTo(60);
+    }
+
+    @Test
+    void lagIsZeroWhenDrainRateIsUnknown() {
+        // 기동 직후/발행 전용 노드: 메인 큐에 적재량이 있어도 +Inf를 내보내지 않음
+        assertThat(AdmissionControl.evaluate(500, 0, 0, 0, STATIC).lagSec()).isZero();
+        assertThat(AdmissionControl.evaluate(500, 0, 0, 10, STATIC).lagSec()).isEqualTo(50.0);
+    }
+}
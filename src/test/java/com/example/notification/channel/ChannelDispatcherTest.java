@@ -0,0 +1,100 @@
+package com.example.notification.channel;
+
+import com.example.notification.api.NotificationChannel;
+import com.example.notification.api.NotificationMessage;
+import com.example.notification.config.ChannelProperties;
+import com.example.notification.metrics.NotificationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ChannelDispatcherTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ChannelDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void saturatedChannelIsRejectedImmediately() throws Exception {
+        dispatcher = dispatcher(1, 5000, 4);
+
+        CompletableFuture<SendOutcome> first = CompletableFuture.supplyAsync(() -> dispatcher.dispatch(message()));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        long startNs = System.nanoTime();
+        SendOutcome second = dispatcher.dispatch(message());
+
+        assertThat(second).isEqualTo(SendOutcome.REJECTED);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs)).isLessThan(1000);
+
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(SendOutcome.SUCCESS);
+    }
+
+    @Test
+    void permitIsReturnedAsSoonAsSendCompletes() {
+        dispatcher = dispatcher(1, 1000, 4);
+        release.countDown();
+
+        // 직전 작업의 워커가 아직 대기열로 돌아가지 않았어도 거절되면 안 됨
+        for (int i = 0; i < 200; i++) {
+            assertThat(dispatcher.dispatch(message())).isEqualTo(SendOutcome.SUCCESS);
+        }
+    }
+
+    @Test
+    void slowSendTimesOut() {
+        dispatcher = dispatcher(1, 50, 4);
+
+        assertThat(dispatcher.dispatch(message())).isEqualTo(SendOutcome.TIMEOUT);
+    }
+
+    @Test
+    void channelConcurrencyMustStayBelowListenerConcurrency() {
+        assertThatThrownBy(() -> dispatcher(4, 1000, 4))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private ChannelDispatcher dispatcher(int concurrency, long timeoutMs, int listenerConcurrency) {
+        ChannelSender blockingSender = new ChannelSender() {
+            @Override
+            public NotificationChannel channel() {
+                return NotificationChannel.SMS;
+            }
+
+            @Override
+            public boolean send(NotificationMessage msg) throws InterruptedException {
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }
+        };
+        ChannelProperties props = new ChannelProperties(Map.of(
+                NotificationChannel.SMS,
+                new ChannelProperties.Channel(concurrency, timeoutMs, List.of(1000L), null)));
+        NotificationMetrics metrics = new NotificationMetrics(new SimpleMeterRegistry(), mock(StringRedisTemplate.class));
+        return new ChannelDispatcher(List.of(blockingSender), props, metrics, listenerConcurrency);
+    }
+
+    private static NotificationMessage message() {
+        return new NotificationMessage("1", 0, "key", "payload", NotificationChannel.SMS);
+    }
+}
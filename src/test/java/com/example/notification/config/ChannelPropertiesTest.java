@@ -0,0 +1,40 @@
+package com.example.notification.config;
+
+import com.example.notification.api.NotificationChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChannelPropertiesTest {
+
+    @Test
+    void retryDelaysDefineMaxRetryCountAndTierDelay() {
+        ChannelProperties.Channel channel = new ChannelProperties.Channel(
+                2, 1000, List.of(5000L, 30000L, 120000L), null);
+
+        assertThat(channel.maxRetryCount()).isEqualTo(3);
+        assertThat(channel.retryDelayMs(1)).isEqualTo(5000L);
+        assertThat(channel.retryDelayMs(3)).isEqualTo(120000L);
+    }
+
+    @Test
+    void missingRetryDelaysMeansNoRetry() {
+        ChannelProperties.Channel channel = new ChannelProperties.Channel(2, 1000, null, null);
+
+        assertThat(channel.maxRetryCount()).isZero();
+        assertThat(channel.simulation().failRatePercent()).isZero();
+    }
+
+    @Test
+    void unconfiguredChannelIsRejected() {
+        ChannelProperties props = new ChannelProperties(Map.of(
+                NotificationChannel.EMAIL, new ChannelProperties.Channel(2, 1000, List.of(), null)));
+
+        assertThatThrownBy(() -> props.get(NotificationChannel.SMS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.notification.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CompactRedisIdempotencyStoreTest {
+
+    private final CompactRedisIdempotencyStore store = new CompactRedisIdempotencyStore(
+            mock(RedisConnectionFactory.class), 60, 86400, 14400, 1000);
+
+    @Test
+    void uuidKeyIsEncodedAs16Bytes() {
+        UUID uuid = UUID.randomUUID();
+
+        byte[] encoded = CompactRedisIdempotencyStore.encode(uuid.toString());
+
+        ByteBuffer buf = ByteBuffer.wrap(encoded);
+        assertThat(encoded).hasSize(16);
+        assertThat(new UUID(buf.getLong(), buf.getLong())).isEqualTo(uuid);
+    }
+
+    @Test
+    void nonUuidKeyFallsBackToUtf8() {
+        assertThat(CompactRedisIdempotencyStore.encode("order-42"))
+                .isEqualTo("order-42".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void liveBucketsCoverDoneTtlPlusCurrentBucket() {
+        long current = store.currentBucket();
+
+        List<Long> buckets = store.liveBuckets();
+
+        // 86400 / 14400 = 6개 이전 버킷 + 현재 버킷
+        assertThat(buckets).hasSize(7);
+        assertThat(buckets.get(0)).isEqualTo(current);
+        assertThat(buckets.get(6)).isEqualTo(current - 6);
+        assertThat(new String(CompactRedisIdempotencyStore.bucketPrefix(current), StandardCharsets.UTF_8))
+                .isEqualTo("idemp:d:" + current);
+    }
+
+    @Test
+    void shardHashUsesLow48BitsOfField() {
+        UUID uuid = UUID.randomUUID();
+        byte[] field = CompactRedisIdempotencyStore.encode(uuid.toString());
+
+        // Lua(double)에서도 정확한 나머지를 구할 수 있는 범위
+        assertThat(CompactRedisIdempotencyStore.shardHash(field))
+                .isEqualTo(uuid.getLeastSignificantBits() & 0xFFFF_FFFF_FFFFL)
+                .isLessThan(1L << 48);
+        assertThat(CompactRedisIdempotencyStore.shardHash(field.clone()))
+                .isEqualTo(CompactRedisIdempotencyStore.shardHash(field));
+    }
+
+    @Test
+    void shardsAreSizedToFieldsPerHash() {
+        // 3000/s * 14400s = 43,200,000 키 / 90 = 480,000 shard
+        assertThat(CompactRedisIdempotencyStore.shardsFor(3000, 14400, 90)).isEqualTo(480_000);
+        assertThat(CompactRedisIdempotencyStore.shardsFor(0, 14400, 90)).isEqualTo(1);
+    }
+}
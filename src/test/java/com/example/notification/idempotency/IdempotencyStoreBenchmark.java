@@ -0,0 +1,151 @@
+package com.example.notification.idempotency;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * 문자열 키 방식과 압축 방식의 키당 메모리, 연산 지연 비교.
+ *
+ * 애플리케이션 컨텍스트 없이 Redis에 직접 붙어 실행하므로 리스너/스케줄러의 쓰기가 섞이지 않는다.
+ * used_memory는 서버 전체 값이라 키가 하나도 없는 Redis에서만 실행된다.
+ *
+ * 실행: ./gradlew idempotencyBench -Dbench.keys=200000 -Dbench.redis.host=localhost -Dbench.redis.port=6379
+ *
+ * 연산별 지연: tryAcquire/markDone(성공 경로), release(전송 실패 경로), reset(DLQ 재처리 경로).
+ *
+ * compact는 두 가지로 측정한다.
+ * - sized: 운영 설정과 같은 해시당 필드 수(fields-per-hash 90, listpack 유지)
+ * - undersized: shard가 부족해 해시당 필드가 128을 넘는 경우(hashtable 전환)
+ */
+public class IdempotencyStoreBenchmark {
+
+    private static final long PROCESSING_TTL_SEC = 60;
+    private static final long DONE_TTL_SEC = 86400;
+    private static final long BUCKET_SEC = 14400;
+
+    private final StringRedisTemplate redis;
+
+    IdempotencyStoreBenchmark(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    public static void main(String[] args) {
+        String host = System.getProperty("bench.redis.host", "localhost");
+        int port = Integer.getInteger("bench.redis.port", 6379);
+        int keyCount = Integer.getInteger("bench.keys", 200_000);
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("bench.keys는 1 이상이어야 함: " + keyCount);
+        }
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        factory.afterPropertiesSet();
+        factory.start();
+        try {
+            StringRedisTemplate redis = new StringRedisTemplate(factory);
+            redis.afterPropertiesSet();
+            new IdempotencyStoreBenchmark(redis).run(keyCount);
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    void run(int keyCount) {
+        Properties keyspace = redis.execute((RedisCallback<Properties>) conn -> conn.serverCommands().info("keyspace"));
+        if (keyspace != null && !keyspace.isEmpty()) {
+            throw new IllegalStateException("빈 Redis에서만 실행 가능 (used_memory가 서버 전체 값): " + keyspace);
+        }
+
+        List<String> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add(UUID.randomUUID().toString());
+        }
+
+        int sizedShards = Math.max(1, keyCount / 90);
+        int undersizedShards = Math.max(1, keyCount / 1000);
+
+        measure("string", new RedisIdempotencyStore(redis, PROCESSING_TTL_SEC, DONE_TTL_SEC), keys);
+        measure("compact-sized(" + keyCount / sizedShards + "/hash)", compact(sizedShards), keys);
+        measure("compact-undersized(" + keyCount / undersizedShards + "/hash)", compact(undersizedShards), keys);
+    }
+
+    private IdempotencyStore compact(int shards) {
+        return new CompactRedisIdempotencyStore(
+                redis.getRequiredConnectionFactory(), PROCESSING_TTL_SEC, DONE_TTL_SEC, BUCKET_SEC, shards);
+    }
+
+    private void measure(String mode, IdempotencyStore store, List<String> keys) {
+        long[] acquireNs = new long[keys.size()];
+        long[] doneNs = new long[keys.size()];
+        long[] releaseNs = new long[keys.size()];
+        long[] resetNs = new long[keys.size()];
+
+        long before = usedMemory();
+        for (int i = 0; i < keys.size(); i++) {
+            long t0 = System.nanoTime();
+            store.tryAcquire(keys.get(i));
+            long t1 = System.nanoTime();
+            store.markDone(keys.get(i));
+            acquireNs[i] = t1 - t0;
+            doneNs[i] = System.nanoTime() - t1;
+        }
+        long after = usedMemory();
+
+        // 전송 실패 경로: 처리권 획득 후 해제
+        for (int i = 0; i < keys.size(); i++) {
+            String failKey = UUID.randomUUID().toString();
+            store.tryAcquire(failKey);
+            long t0 = System.nanoTime();
+            store.release(failKey);
+            releaseNs[i] = System.nanoTime() - t0;
+        }
+
+        // DLQ 재처리 경로이자 정리: 완료 기록까지 삭제
+        for (int i = 0; i < keys.size(); i++) {
+            long t0 = System.nanoTime();
+            store.reset(keys.get(i));
+            resetNs[i] = System.nanoTime() - t0;
+        }
+        if (store instanceof CompactRedisIdempotencyStore compact) {
+            // 버킷별로 고정된 shard 수도 지워 다음 측정이 자기 shard 수를 쓰게 함
+            long current = compact.currentBucket();
+            redis.delete(List.of("idemp:d:" + current + ":n", "idemp:d:" + (current - 1) + ":n"));
+        }
+
+        System.out.printf("mode=%s keys=%d bytesPerKey=%.1f"
+                        + " acquireAvgUs=%.1f acquireP99Us=%.1f doneAvgUs=%.1f doneP99Us=%.1f"
+                        + " releaseAvgUs=%.1f releaseP99Us=%.1f resetAvgUs=%.1f resetP99Us=%.1f%n",
+                mode,
+                keys.size(),
+                (after - before) / (double) keys.size(),
+                avgUs(acquireNs), p99Us(acquireNs),
+                avgUs(doneNs), p99Us(doneNs),
+                avgUs(releaseNs), p99Us(releaseNs),
+                avgUs(resetNs), p99Us(resetNs));
+    }
+
+    private long usedMemory() {
+        Properties info = redis.execute((RedisCallback<Properties>) conn -> conn.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    static double avgUs(long[] ns) {
+        return Arrays.stream(ns).average().orElse(0) / 1000.0;
+    }
+
+    static double p99Us(long[] ns) {
+        if (ns.length == 0) {
+            return 0;
+        }
+        long[] sorted = ns.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1000.0;
+    }
+}
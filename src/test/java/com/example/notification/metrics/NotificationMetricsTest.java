@@ -0,0 +1,29 @@
+package com.example.notification.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class NotificationMetricsTest {
+
+    private final NotificationMetrics metrics =
+            new NotificationMetrics(new SimpleMeterRegistry(), mock(StringRedisTemplate.class));
+
+    @Test
+    void drainedCountsOnlyMessagesThatLeaveThePipeline() {
+        metrics.recordResult(ConsumeResult.SUCCESS);
+        metrics.recordResult(ConsumeResult.SENT_TO_DLQ);
+        metrics.recordResult(ConsumeResult.SKIPPED_DUPLICATE);
+        metrics.recordPoisonPill();
+
+        // 메인 큐로 되돌아오는 결과는 처리량에서 제외
+        metrics.recordResult(ConsumeResult.DEFERRED);
+        metrics.recordResult(ConsumeResult.RETRY_PUBLISHED);
+        metrics.recordResult(ConsumeResult.RETRY_PARKED);
+
+        assertThat(metrics.drainedCount()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.notification.retry;
+
+import com.example.notification.config.RetryBudgetProperties;
+import com.example.notification.metrics.NotificationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RetryBudgetTest {
+
+    @Test
+    void floorAllowsRetriesWithoutFreshTraffic() {
+        RetryBudget budget = budget(true, 0.2, 1);
+
+        // 10초 윈도우 * 초당 1회
+        assertThat(budget.allowance()).isEqualTo(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquireRetry()).isTrue();
+        }
+        assertThat(budget.tryAcquireRetry()).isFalse();
+        assertThat(budget.utilization()).isEqualTo(1.0);
+    }
+
+    @Test
+    void allowanceGrowsWithFreshTraffic() {
+        RetryBudget budget = budget(true, 0.2, 1);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordFresh();
+        }
+
+        assertThat(budget.allowance()).isEqualTo(20);
+    }
+
+    @Test
+    void utilizationIsZeroWhenNothingIsAllowedOrUsed() {
+        RetryBudget budget = budget(true, 0.2, 0);
+
+        assertThat(budget.allowance()).isZero();
+        assertThat(budget.utilization()).isZero();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    void disabledBudgetAlwaysAllows() {
+        RetryBudget budget = budget(false, 0.2, 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(budget.tryAcquireRetry()).isTrue();
+        }
+    }
+
+    private static RetryBudget budget(boolean enabled, double ratio, long minRetriesPerSec) {
+        RetryBudgetProperties props = new RetryBudgetProperties(enabled, ratio, 10, minRetriesPerSec, 200, 300000);
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        return new RetryBudget(redis, props, new NotificationMetrics(new SimpleMeterRegistry(), redis));
+    }
+}